@@ -1,6 +1,7 @@
 import "dotenv/config";
 import path from "node:path";
 import express from "express";
+import compression from "compression";
 import { initDbIfNeeded } from "./db/init.js";
 import { attachUser } from "./middleware/auth.js";
 import authRoutes from "./routes/auth.js";
@@ -17,6 +18,21 @@ const FRONTEND_ORIGIN = process.env.FRONTEND_ORIGIN || "http://localhost:5173";
 // Ensure the database is ready before handling requests.
 await initDbIfNeeded();
 
+// Compress responses (gzip/deflate) when the client sends Accept-Encoding.
+// Logic: only bodies >= 1 KB with a compressible type (JSON, text) are compressed;
+// images such as avatars are already compressed and pass through unchanged.
+// Server-Sent Events are skipped: gzip buffers writes, so events would be held back.
+app.use(
+  compression({
+    threshold: 1024,
+    filter: (req, res) => {
+      const type = String(res.getHeader("Content-Type") || "");
+      if (type.startsWith("text/event-stream")) return false;
+      return compression.filter(req, res);
+    },
+  })
+);
+
 // Parse JSON bodies with a safe size limit.
 // Note: image uploads use multipart/form-data (Multer) and are limited separately.
 app.use(express.json({ limit: "10mb" }));
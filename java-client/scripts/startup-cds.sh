@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Builds the admin client jar, records an AppCDS archive from a training run of
+# StartupBenchmark against a local StubBackend, then compares cold-start times
+# with and without the archive. Needs JDK 13+ (-XX:ArchiveClassesAtExit) and a display.
+#
+# Usage: scripts/startup-cds.sh            (from java-client/)
+#        RUNS=10 STUB_PORT=3901 scripts/startup-cds.sh
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+OUT=out
+JAR="$OUT/admin-client.jar"
+JSA="$OUT/admin-client.jsa"
+RUNS="${RUNS:-5}"
+PORT="${STUB_PORT:-3901}"
+URL="http://127.0.0.1:$PORT"
+
+# 1. Build. AppCDS only archives classes loaded from JAR files, not class directories.
+rm -rf "$OUT/classes"
+mkdir -p "$OUT/classes"
+javac -encoding UTF-8 -d "$OUT/classes" $(find src -name '*.java')
+jar --create --file "$JAR" --main-class pccit.finalproject.javaclient.Main -C "$OUT/classes" .
+
+# 2. Local backend for the training and benchmark runs.
+java -cp "$JAR" pccit.finalproject.javaclient.loadtest.StubBackend --port "$PORT" --users 500 >/dev/null &
+STUB_PID=$!
+trap 'kill "$STUB_PID" 2>/dev/null || true' EXIT
+for _ in $(seq 1 50); do
+  (exec 3<>"/dev/tcp/127.0.0.1/$PORT") 2>/dev/null && break
+  sleep 0.1
+done
+
+BENCH=(-Dapi.baseUrl="$URL" -cp "$JAR" pccit.finalproject.javaclient.loadtest.StartupBenchmark)
+
+# Epoch ms just before java starts, so the benchmark also counts JVM boot. Needs GNU date
+# (%N); elsewhere nothing is passed and the benchmark falls back to the JVM start time.
+launch_ms() {
+  local t
+  t=$(date +%s%3N)
+  if [[ $t =~ ^[0-9]+$ ]]; then echo "-Dbench.launchMillis=$t"; fi
+}
+
+# 3. Training run: a full start (window, login, first table row); loaded classes are dumped at exit.
+rm -f "$JSA"
+java -XX:ArchiveClassesAtExit="$JSA" "${BENCH[@]}" >/dev/null
+echo "Wrote $JSA"
+
+# 4. Compare.
+for mode in default appcds; do
+  for i in $(seq 1 "$RUNS"); do
+    if [ "$mode" = appcds ]; then
+      printf '%-8s ' "$mode"; java $(launch_ms) -XX:SharedArchiveFile="$JSA" "${BENCH[@]}"
+    else
+      printf '%-8s ' "$mode"; java $(launch_ms) "${BENCH[@]}"
+    fi
+  done
+done
+
+echo
+echo "Start the client with the archive:"
+echo "  java -XX:SharedArchiveFile=$JSA -jar $JAR"
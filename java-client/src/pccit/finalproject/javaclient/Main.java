@@ -11,16 +11,20 @@ import javax.swing.*;
 public class Main {
 
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-            } catch (Exception ignored) {
-                // use default L&F
-            }
-            AdminFrame frame = new AdminFrame();
-            frame.pack();
-            frame.setLocationRelativeTo(null);
-            frame.setVisible(true);
-        });
+        SwingUtilities.invokeLater(Main::createAndShowFrame);
+    }
+
+    /** Builds and shows the admin window; must run on the EDT. Also used by the startup benchmark. */
+    public static AdminFrame createAndShowFrame() {
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception ignored) {
+            // use default L&F
+        }
+        AdminFrame frame = new AdminFrame();
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+        return frame;
     }
 }
@@ -1,14 +1,20 @@
 package pccit.finalproject.javaclient.api;
 
+import pccit.finalproject.javaclient.http.ApiException;
 import pccit.finalproject.javaclient.http.ApiHttpClient;
 import pccit.finalproject.javaclient.model.LoginResult;
 import pccit.finalproject.javaclient.model.User;
 import pccit.finalproject.javaclient.util.JsonHelper;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.util.Collections;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.function.LongConsumer;
 
 /**
  * Client for the Node.js backend API. Handles login (with cookie storage),
@@ -22,15 +28,29 @@ public class ApiClient {
     private static final String USER_AVATAR_PATH = "/api/users/%d/avatar";
 
     private final ApiHttpClient http;
-    private final Executor executor;
+    private volatile Executor executor;
 
     public ApiClient(String baseUrl) {
         this.http = new ApiHttpClient(baseUrl);
-        this.executor = java.util.concurrent.Executors.newCachedThreadPool(r -> {
-            Thread t = new Thread(r, "api-client");
-            t.setDaemon(true);
-            return t;
-        });
+    }
+
+    /** Background pool for async calls, created on first use to keep it off the startup path. */
+    private Executor executor() {
+        Executor e = executor;
+        if (e == null) {
+            synchronized (this) {
+                e = executor;
+                if (e == null) {
+                    e = java.util.concurrent.Executors.newCachedThreadPool(r -> {
+                        Thread t = new Thread(r, "api-client");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    executor = e;
+                }
+            }
+        }
+        return e;
     }
 
     /**
@@ -69,29 +89,79 @@ public class ApiClient {
     }
 
     /**
-     * GET /api/admin/users. Requires prior login as admin. Returns list of users or empty on error.
+     * GET /api/admin/users. Requires prior login as admin. Returns list of users;
+     * throws ApiException (connection, timeout, error status, open circuit) on failure.
+     * The (possibly gzip-compressed) body is parsed as it streams in.
+     */
+    public List<User> getUsers() throws ApiException {
+        return getUsers(null);
+    }
+
+    /**
+     * Same as {@link #getUsers()}; on success also passes the size of the decoded JSON body
+     * in bytes to bodyBytes (used by the load driver to report list throughput).
      */
-    public List<User> getUsers() {
+    public List<User> getUsers(LongConsumer bodyBytes) throws ApiException {
         try {
-            var response = http.get(ADMIN_USERS_PATH);
-            if (response.statusCode() == 200) {
-                return JsonHelper.parseUserList(response.body());
+            var response = http.getJson(ADMIN_USERS_PATH);
+            CountingInputStream in = new CountingInputStream(response.body());
+            try (Reader body = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                if (response.statusCode() == 200) {
+                    List<User> users = JsonHelper.parseUserList(body);
+                    if (bodyBytes != null) bodyBytes.accept(in.count);
+                    return users;
+                }
+                throw ApiException.httpStatus(response.statusCode(), JsonHelper.getErrorMessage(readAll(body)));
             }
-            return Collections.emptyList();
-        } catch (IOException | InterruptedException e) {
-            return Collections.emptyList();
+        } catch (IOException e) {
+            throw ApiException.from("GET " + ADMIN_USERS_PATH, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ApiException.Kind.CONNECTION, "Interrupted");
         }
     }
 
     /**
-     * DELETE /api/admin/users/:id. Requires prior login as admin. Returns true if 204.
+     * DELETE /api/admin/users/:id. Requires prior login as admin. Returns true if 204,
+     * false if the server refused; throws ApiException if the backend could not be reached.
      */
-    public boolean deleteUser(int userId) {
+    public boolean deleteUser(int userId) throws ApiException {
         try {
             var response = http.delete(ADMIN_USERS_PATH + "/" + userId);
             return response.statusCode() == 204;
-        } catch (IOException | InterruptedException e) {
-            return false;
+        } catch (IOException e) {
+            throw ApiException.from("DELETE " + ADMIN_USERS_PATH, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ApiException.Kind.CONNECTION, "Interrupted");
+        }
+    }
+
+    /**
+     * GET /api/users/:id/avatar on the calling thread. Returns the image bytes;
+     * throws ApiException if the request failed or returned no image.
+     */
+    public byte[] fetchAvatar(int userId) throws ApiException {
+        return fetchAvatar(userId, true);
+    }
+
+    /**
+     * As {@link #fetchAvatar(int)}; with hedge=false slow requests are never duplicated, so
+     * callers running their own bounded pool keep exactly that many requests in flight.
+     */
+    public byte[] fetchAvatar(int userId, boolean hedge) throws ApiException {
+        String path = String.format(USER_AVATAR_PATH, userId);
+        try {
+            var response = http.getBytes(path, hedge);
+            if (response.statusCode() == 200 && response.body() != null && response.body().length > 0) {
+                return response.body();
+            }
+            throw ApiException.httpStatus(response.statusCode(), "Failed to load image");
+        } catch (IOException e) {
+            throw ApiException.from("GET " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ApiException.Kind.CONNECTION, "Interrupted");
         }
     }
 
@@ -100,17 +170,11 @@ public class ApiClient {
      * Does not block the calling thread (e.g. Swing EDT).
      */
     public void fetchAvatarAsync(int userId, AvatarCallback callback) {
-        String path = String.format(USER_AVATAR_PATH, userId);
-        executor.execute(() -> {
+        executor().execute(() -> {
             try {
-                var response = http.getBytes(path);
-                if (response.statusCode() == 200 && response.body() != null && response.body().length > 0) {
-                    callback.onAvatarLoaded(response.body());
-                } else {
-                    callback.onAvatarError("Failed to load image");
-                }
-            } catch (Exception e) {
-                callback.onAvatarError(e.getMessage());
+                callback.onAvatarLoaded(fetchAvatar(userId));
+            } catch (ApiException e) {
+                callback.onAvatarError(e.getKind() == ApiException.Kind.HTTP_STATUS ? "Failed to load image" : e.getMessage());
             }
         });
     }
@@ -120,6 +184,35 @@ public class ApiClient {
         void onAvatarError(String message);
     }
 
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+
+    private static String readAll(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[4096];
+        for (int n; (n = reader.read(buf)) != -1; ) sb.append(buf, 0, n);
+        return sb.toString();
+    }
+
     private static String escapeJson(String s) {
         if (s == null) return "";
         return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
@@ -0,0 +1,247 @@
+package pccit.finalproject.javaclient.api;
+
+import pccit.finalproject.javaclient.http.ApiException;
+import pccit.finalproject.javaclient.model.LoginResult;
+import pccit.finalproject.javaclient.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Holds one ApiClient (and therefore one session cookie jar) per backend instance,
+ * keyed by its base URL. Calls that apply to every backend are fanned out concurrently
+ * and results are handed back one backend at a time, in completion order, so a slow
+ * node never holds up the others.
+ */
+public class BackendPool {
+
+    public static final String DEFAULT_BASE_URL = "http://localhost:3001";
+
+    private final Map<String, ApiClient> clients = new LinkedHashMap<>();
+    private volatile ExecutorService executor;
+
+    public BackendPool(Collection<String> baseUrls) {
+        for (String url : baseUrls) {
+            String origin = normalize(url);
+            if (!origin.isEmpty() && !clients.containsKey(origin)) {
+                clients.put(origin, new ApiClient(origin));
+            }
+        }
+        if (clients.isEmpty()) {
+            throw new IllegalArgumentException("At least one backend base URL is required");
+        }
+    }
+
+    /** Fan-out pool, created on first use (login) rather than when the window is built. */
+    private ExecutorService executor() {
+        ExecutorService e = executor;
+        if (e == null) {
+            synchronized (this) {
+                e = executor;
+                if (e == null) {
+                    e = Executors.newCachedThreadPool(r -> {
+                        Thread t = new Thread(r, "backend-pool");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    executor = e;
+                }
+            }
+        }
+        return e;
+    }
+
+    /**
+     * Pool for the backends named by the api.baseUrls system property (comma-separated),
+     * or the single api.baseUrl, or DEFAULT_BASE_URL.
+     */
+    public static BackendPool fromSystemProperties() {
+        String baseUrl = System.getProperty("api.baseUrl", DEFAULT_BASE_URL);
+        return new BackendPool(parseBaseUrls(System.getProperty("api.baseUrls"), baseUrl));
+    }
+
+    /**
+     * Parses a comma-separated list of base URLs (the api.baseUrls system property).
+     * Falls back to the single default when the list is blank.
+     */
+    public static List<String> parseBaseUrls(String commaSeparated, String fallback) {
+        List<String> urls = new ArrayList<>();
+        if (commaSeparated != null) {
+            for (String part : commaSeparated.split(",")) {
+                if (!part.isBlank()) urls.add(part.trim());
+            }
+        }
+        if (urls.isEmpty()) urls.add(fallback);
+        return urls;
+    }
+
+    /** Base URLs of all configured backends, in configuration order. */
+    public List<String> getOrigins() {
+        return Collections.unmodifiableList(new ArrayList<>(clients.keySet()));
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    /** ApiClient for the backend a user (or request) belongs to, or null if unknown. */
+    public ApiClient clientFor(String origin) {
+        return clients.get(normalize(origin));
+    }
+
+    /**
+     * Logs in to every backend concurrently with the same credentials.
+     * Blocks until all backends have answered; result map is in configuration order.
+     */
+    public Map<String, LoginResult> loginAll(String username, String password) throws InterruptedException {
+        Map<String, Future<LoginResult>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, ApiClient> e : clients.entrySet()) {
+            ApiClient client = e.getValue();
+            futures.put(e.getKey(), executor().submit(() -> client.login(username, password)));
+        }
+        Map<String, LoginResult> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<LoginResult>> e : futures.entrySet()) {
+            try {
+                results.put(e.getKey(), e.getValue().get());
+            } catch (ExecutionException ex) {
+                results.put(e.getKey(), LoginResult.failure("Connection error: " + ex.getCause().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Logs in to every backend and fetches its user list, as one job per backend, so a slow
+     * or hung node only delays its own rows. The listener is called on the calling thread as
+     * each backend finishes: onShardLogin first, then onShardUsers or onShardError if that
+     * login was an admin session. A non-admin session is logged out again, since it cannot
+     * list users. Blocks until every backend has answered.
+     */
+    public void loginAndFetchUsers(String username, String password, LoginListener listener)
+            throws InterruptedException {
+        CompletionService<ShardResult> completion = new ExecutorCompletionService<>(executor());
+        for (Map.Entry<String, ApiClient> e : clients.entrySet()) {
+            String origin = e.getKey();
+            ApiClient client = e.getValue();
+            completion.submit(() -> loginAndFetch(origin, client, username, password));
+        }
+        for (int i = clients.size(); i > 0; i--) {
+            ShardResult r;
+            try {
+                r = completion.take().get();
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException(ex.getCause());
+            }
+            listener.onShardLogin(r.origin, r.login);
+            if (r.users != null) listener.onShardUsers(r.origin, r.users);
+            else if (r.error != null) listener.onShardError(r.origin, r.error);
+        }
+    }
+
+    private static ShardResult loginAndFetch(String origin, ApiClient client, String username, String password) {
+        LoginResult login = client.login(username, password);
+        if (!login.isSuccess()) return new ShardResult(origin, login, null, null);
+        if (!login.isAdmin()) {
+            client.logout();
+            return new ShardResult(origin, login, null, null);
+        }
+        try {
+            return new ShardResult(origin, login, fetchTagged(origin, client), null);
+        } catch (Exception e) {
+            return new ShardResult(origin, login, null, toApiException(e));
+        }
+    }
+
+    /** Logs out of every backend concurrently (best effort, does not wait). */
+    public void logoutAll() {
+        logout(clients.keySet());
+    }
+
+    /** Logs out of the given backends concurrently (best effort, does not wait). */
+    public void logout(Collection<String> origins) {
+        for (String origin : origins) {
+            ApiClient client = clientFor(origin);
+            if (client != null) executor().execute(client::logout);
+        }
+    }
+
+    /**
+     * Fetches the user list from the given backends concurrently. The listener is called
+     * on the calling thread once per backend as soon as that backend responds, with each
+     * user tagged by its origin, or with the error if that backend failed.
+     * Blocks until every backend has answered.
+     */
+    public void fetchUsers(Collection<String> origins, ShardListener listener) throws InterruptedException {
+        CompletionService<List<User>> completion = new ExecutorCompletionService<>(executor());
+        Map<Future<List<User>>, String> pending = new LinkedHashMap<>();
+        for (String origin : origins) {
+            ApiClient client = clientFor(origin);
+            if (client == null) continue;
+            String key = normalize(origin);
+            Future<List<User>> f = completion.submit(() -> fetchTagged(key, client));
+            pending.put(f, key);
+        }
+        for (int i = pending.size(); i > 0; i--) {
+            Future<List<User>> done = completion.take();
+            String origin = pending.get(done);
+            try {
+                listener.onShardUsers(origin, done.get());
+            } catch (ExecutionException ex) {
+                listener.onShardError(origin, toApiException(ex.getCause()));
+            }
+        }
+    }
+
+    /** The backend's users, each tagged with its origin. */
+    private static List<User> fetchTagged(String origin, ApiClient client) throws ApiException {
+        List<User> tagged = new ArrayList<>();
+        for (User u : client.getUsers()) tagged.add(u.withOrigin(origin));
+        return tagged;
+    }
+
+    private static ApiException toApiException(Throwable t) {
+        return t instanceof ApiException
+                ? (ApiException) t
+                : new ApiException(ApiException.Kind.CONNECTION, String.valueOf(t.getMessage()), -1, t);
+    }
+
+    public interface ShardListener {
+        void onShardUsers(String origin, List<User> users);
+        void onShardError(String origin, ApiException error);
+    }
+
+    /** ShardListener that also hears each backend's login result, before its users or error. */
+    public interface LoginListener extends ShardListener {
+        void onShardLogin(String origin, LoginResult result);
+    }
+
+    private static final class ShardResult {
+        final String origin;
+        final LoginResult login;
+        final List<User> users;
+        final ApiException error;
+
+        ShardResult(String origin, LoginResult login, List<User> users, ApiException error) {
+            this.origin = origin;
+            this.login = login;
+            this.users = users;
+            this.error = error;
+        }
+    }
+
+    private static String normalize(String url) {
+        if (url == null) return "";
+        String s = url.trim();
+        return s.endsWith("/") ? s.substring(0, s.length() - 1) : s;
+    }
+}
@@ -0,0 +1,293 @@
+package pccit.finalproject.javaclient.export;
+
+import pccit.finalproject.javaclient.api.ApiClient;
+import pccit.finalproject.javaclient.api.BackendPool;
+import pccit.finalproject.javaclient.http.ApiException;
+import pccit.finalproject.javaclient.model.User;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Downloads every user's avatar with bounded parallelism and streams them into a ZIP
+ * archive. Memory stays constant regardless of user count: at most {@code parallelism}
+ * images are held at once, and the single writer thread appends each one as it arrives.
+ *
+ * The archive is written to a {@code <target>.<timestamp>.part} file and moved over the
+ * target at the end. On start, complete entries from the existing target and from any
+ * leftover .part files (e.g. after a crash) are copied over and those users are skipped,
+ * so an interrupted export resumes instead of starting again.
+ *
+ * Stop a running export with {@link #cancel()} rather than interrupting its thread; the
+ * archive files use plain FileInput/OutputStreams, which (unlike NIO channels) are not
+ * closed by an interrupt, so even an interrupted run still finishes its archive.
+ */
+public class AvatarExportJob {
+
+    public static final int DEFAULT_PARALLELISM = 4;
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+    private static final long CANCEL_POLL_MILLIS = 100;
+
+    private final BackendPool backends;
+    private final List<User> users;
+    private final Path target;
+    private final int parallelism;
+    private volatile List<String> lastFailures = List.of();
+    private volatile boolean cancelled;
+
+    public AvatarExportJob(BackendPool backends, List<User> users, Path target, int parallelism) {
+        this.backends = backends;
+        this.users = new ArrayList<>(users);
+        this.target = target.toAbsolutePath();
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Runs the export on the calling thread and returns the final progress. After
+     * {@link #cancel()}, in-flight downloads are dropped, the archive is closed cleanly with
+     * what it has so far and the partial progress is returned ({@link #isCancelled()} is
+     * true); running again resumes. An interrupt is handled the same way, except that
+     * InterruptedException is thrown at the end.
+     */
+    public ExportProgress run(ProgressListener listener) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        List<Path> previous = findPreviousArchives();
+        Path part = target.resolveSibling(target.getFileName() + "." + start + ".part");
+        Counters counters = new Counters();
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "avatar-export");
+            t.setDaemon(true);
+            return t;
+        });
+        boolean interrupted = false;
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(part.toFile())))) {
+            Set<String> done = new HashSet<>();
+            for (Path p : previous) {
+                copyCompleteEntries(p, zip, done, counters);
+            }
+            List<User> pending = new ArrayList<>();
+            for (User u : users) {
+                if (done.contains(entryKey(u))) counters.resumed++;
+                else pending.add(u);
+            }
+            report(listener, counters, start, true);
+
+            CompletionService<Download> completion = new ExecutorCompletionService<>(pool);
+            Iterator<User> it = pending.iterator();
+            int inFlight = 0;
+            try {
+                while (!cancelled && (it.hasNext() || inFlight > 0)) {
+                    while (inFlight < parallelism && it.hasNext()) {
+                        User u = it.next();
+                        completion.submit(() -> download(u));
+                        inFlight++;
+                    }
+                    // Poll rather than take so a cancel is noticed while downloads are slow.
+                    Future<Download> f = completion.poll(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (f == null) continue;
+                    inFlight--;
+                    Download d = getDownload(f);
+                    if (d.bytes != null) {
+                        writeEntry(zip, entryName(d.user, d.bytes), d.bytes);
+                        counters.exported++;
+                        counters.bytes += d.bytes.length;
+                    } else {
+                        counters.failed++;
+                        counters.failures.add(d.user.getUsername() + " (" + d.user.getOrigin() + "): " + d.error);
+                    }
+                    report(listener, counters, start, false);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        for (Path p : previous) {
+            if (!p.equals(target)) Files.deleteIfExists(p);
+        }
+        lastFailures = List.copyOf(counters.failures);
+        ExportProgress result = report(listener, counters, start, true);
+        if (interrupted) throw new InterruptedException("Export interrupted; run again to resume");
+        return result;
+    }
+
+    /** Asks a running export to stop after closing its archive; safe to call from any thread. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Per-user error messages from the last run (empty if all succeeded). */
+    public List<String> getFailures() {
+        return lastFailures;
+    }
+
+    private Download download(User user) {
+        ApiClient api = backends.clientFor(user.getOrigin());
+        if (api == null) return new Download(user, null, "unknown backend");
+        try {
+            // Not hedged: the pool size is the export's concurrency limit.
+            return new Download(user, api.fetchAvatar(user.getId(), false), null);
+        } catch (ApiException e) {
+            return new Download(user, null, e.getMessage());
+        }
+    }
+
+    private static Download getDownload(Future<Download> f) throws InterruptedException {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private List<Path> findPreviousArchives() throws IOException {
+        List<Path> found = new ArrayList<>();
+        if (Files.isRegularFile(target)) found.add(target);
+        Path dir = target.getParent();
+        String prefix = target.getFileName() + ".";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, p -> {
+            String name = p.getFileName().toString();
+            return name.startsWith(prefix) && name.endsWith(".part");
+        })) {
+            for (Path p : stream) found.add(p);
+        }
+        return found;
+    }
+
+    /**
+     * Copies entries from a previous archive, stopping at the first truncated or corrupt
+     * entry (a crash leaves the last one half-written and no central directory).
+     */
+    private void copyCompleteEntries(Path source, ZipOutputStream zip, Set<String> done, Counters counters)
+            throws IOException {
+        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(source.toFile())))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                byte[] bytes = in.readAllBytes();
+                String key = keyOfEntryName(entry.getName());
+                if (entry.isDirectory() || key == null || !done.add(key)) continue;
+                writeEntry(zip, entry.getName(), bytes);
+                counters.bytes += bytes.length;
+            }
+        } catch (ZipException | java.io.EOFException truncated) {
+            // keep what was complete
+        }
+    }
+
+    /**
+     * Images are already compressed, so they are STORED (no deflate CPU for no gain);
+     * anything unrecognised is deflated. Flushed after each entry so a crash loses at most one.
+     */
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] bytes) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        if (imageExtension(bytes) != null) {
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(bytes.length);
+            entry.setCompressedSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+        zip.flush();
+    }
+
+    private ExportProgress report(ProgressListener listener, Counters c, long start, boolean force) {
+        long now = System.currentTimeMillis();
+        ExportProgress p = new ExportProgress(users.size(), c.exported, c.resumed, c.failed, c.bytes, now - start);
+        if (listener != null && (force || now - c.lastReport >= PROGRESS_INTERVAL_MILLIS || p.isFinished())) {
+            c.lastReport = now;
+            listener.onProgress(p);
+        }
+        return p;
+    }
+
+    /** Entry name: {@code <backend>/<id>-<username>.<ext>}, e.g. {@code localhost_3001/7-alice.png}. */
+    static String entryName(User user, byte[] bytes) {
+        String ext = imageExtension(bytes);
+        String safeName = user.getUsername().replaceAll("[^A-Za-z0-9._-]", "_");
+        return entryKey(user) + "-" + safeName + "." + (ext != null ? ext : "bin");
+    }
+
+    /** Resume key: backend and user id, the part of the entry name before the username. */
+    static String entryKey(User user) {
+        String origin = user.getOrigin().isEmpty() ? "default" : user.getOrigin();
+        String slug = origin.replaceFirst("^[A-Za-z][A-Za-z0-9+.-]*://", "").replaceAll("[^A-Za-z0-9.-]", "_");
+        return slug + "/" + user.getId();
+    }
+
+    private static String keyOfEntryName(String name) {
+        int slash = name.lastIndexOf('/');
+        int dash = name.indexOf('-', slash + 1);
+        return slash > 0 && dash > slash + 1 ? name.substring(0, dash) : null;
+    }
+
+    private static String imageExtension(byte[] b) {
+        if (b.length >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') return "png";
+        if (b.length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) return "jpg";
+        if (b.length >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') return "webp";
+        if (b.length >= 4 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8') return "gif";
+        return null;
+    }
+
+    public interface ProgressListener {
+        /** Called on the export thread, throttled to a few times per second. */
+        void onProgress(ExportProgress progress);
+    }
+
+    private static final class Download {
+        final User user;
+        final byte[] bytes;
+        final String error;
+
+        Download(User user, byte[] bytes, String error) {
+            this.user = user;
+            this.bytes = bytes;
+            this.error = error;
+        }
+    }
+
+    private static final class Counters {
+        int exported;
+        int resumed;
+        int failed;
+        long bytes;
+        long lastReport;
+        final List<String> failures = new ArrayList<>();
+    }
+}
@@ -0,0 +1,104 @@
+package pccit.finalproject.javaclient.export;
+
+import pccit.finalproject.javaclient.api.BackendPool;
+import pccit.finalproject.javaclient.http.ApiException;
+import pccit.finalproject.javaclient.model.LoginResult;
+import pccit.finalproject.javaclient.model.User;
+
+import java.io.Console;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless entry point for the bulk avatar export (no Swing).
+ * Usage: AvatarExportMain --user &lt;admin&gt; --out &lt;file.zip&gt; [--parallel N]
+ * The password is read from the API_PASSWORD environment variable or prompted on the console.
+ * Backends are taken from api.baseUrls / api.baseUrl as in the admin UI.
+ */
+public class AvatarExportMain {
+
+    public static void main(String[] args) {
+        String username = null;
+        String out = null;
+        int parallelism = AvatarExportJob.DEFAULT_PARALLELISM;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--user": username = value; i++; break;
+                case "--out": out = value; i++; break;
+                case "--parallel": parallelism = parseParallelism(value); i++; break;
+                default: usage("Unknown argument: " + args[i]);
+            }
+        }
+        if (username == null || out == null) usage("--user and --out are required");
+
+        String password = System.getenv("API_PASSWORD");
+        if (password == null) {
+            Console console = System.console();
+            if (console == null) usage("Set API_PASSWORD when no console is available");
+            password = new String(console.readPassword("Password for %s: ", username));
+        }
+
+        BackendPool backends = BackendPool.fromSystemProperties();
+        try {
+            List<String> origins = new ArrayList<>();
+            for (Map.Entry<String, LoginResult> e : backends.loginAll(username, password).entrySet()) {
+                LoginResult r = e.getValue();
+                if (r.isSuccess() && r.isAdmin()) {
+                    origins.add(e.getKey());
+                } else {
+                    System.err.println(e.getKey() + ": " + (r.isSuccess() ? "not an administrator" : r.getErrorMessage()));
+                }
+            }
+            if (origins.isEmpty()) System.exit(1);
+
+            List<User> users = Collections.synchronizedList(new ArrayList<>());
+            backends.fetchUsers(origins, new BackendPool.ShardListener() {
+                @Override
+                public void onShardUsers(String origin, List<User> shardUsers) {
+                    users.addAll(shardUsers);
+                }
+                @Override
+                public void onShardError(String origin, ApiException error) {
+                    System.err.println(origin + ": " + error.getMessage());
+                }
+            });
+
+            AvatarExportJob job = new AvatarExportJob(backends, users, Path.of(out), parallelism);
+            ExportProgress result = job.run(p -> System.err.print("\r" + p.describe()));
+            System.err.println();
+            for (String failure : job.getFailures()) System.err.println("failed: " + failure);
+            System.out.println("Wrote " + Path.of(out).toAbsolutePath() + ": " + result.describe());
+            backends.logoutAll();
+            System.exit(result.getFailed() > 0 ? 2 : 0);
+        } catch (InterruptedException e) {
+            System.err.println();
+            System.err.println(e.getMessage());
+            System.exit(130);
+        } catch (Exception e) {
+            System.err.println();
+            System.err.println("Export failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static int parseParallelism(String value) {
+        try {
+            int n = Integer.parseInt(value != null ? value.trim() : "");
+            if (n > 0) return n;
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        usage("--parallel needs a positive number, got: " + value);
+        return AvatarExportJob.DEFAULT_PARALLELISM;
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: AvatarExportMain --user <admin> --out <file.zip> [--parallel N]");
+        System.exit(64);
+    }
+}
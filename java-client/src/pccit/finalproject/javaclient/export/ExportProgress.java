@@ -0,0 +1,59 @@
+package pccit.finalproject.javaclient.export;
+
+/**
+ * Immutable snapshot of an avatar export: how many users are done, how many were
+ * carried over from a previous (partial) archive, how many failed, and throughput.
+ */
+public class ExportProgress {
+
+    private final int total;
+    private final int exported;
+    private final int resumed;
+    private final int failed;
+    private final long bytesWritten;
+    private final long elapsedMillis;
+
+    public ExportProgress(int total, int exported, int resumed, int failed, long bytesWritten, long elapsedMillis) {
+        this.total = total;
+        this.exported = exported;
+        this.resumed = resumed;
+        this.failed = failed;
+        this.bytesWritten = bytesWritten;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getTotal() { return total; }
+    /** Avatars downloaded in this run. */
+    public int getExported() { return exported; }
+    /** Avatars already present in a previous archive and copied over. */
+    public int getResumed() { return resumed; }
+    public int getFailed() { return failed; }
+    /** Image bytes written to the archive in this run (downloaded and copied). */
+    public long getBytesWritten() { return bytesWritten; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /** Users handled so far (exported, resumed or failed). */
+    public int getProcessed() {
+        return exported + resumed + failed;
+    }
+
+    public boolean isFinished() {
+        return getProcessed() >= total;
+    }
+
+    /** Downloaded avatars per second in this run. */
+    public double getAvatarsPerSecond() {
+        return elapsedMillis > 0 ? exported * 1000.0 / elapsedMillis : 0;
+    }
+
+    /** Written bytes per second in this run. */
+    public double getBytesPerSecond() {
+        return elapsedMillis > 0 ? bytesWritten * 1000.0 / elapsedMillis : 0;
+    }
+
+    /** One-line summary, e.g. for a status label or console output. */
+    public String describe() {
+        return String.format("%d/%d users (%d resumed, %d failed), %.1f avatars/s, %.1f KB/s",
+                getProcessed(), total, resumed, failed, getAvatarsPerSecond(), getBytesPerSecond() / 1024);
+    }
+}
@@ -0,0 +1,54 @@
+package pccit.finalproject.javaclient.http;
+
+import java.io.IOException;
+
+/**
+ * Typed failure from the backend API, so callers (e.g. AdminFrame) can tell a dead
+ * connection from a timeout, an error status, or an open circuit breaker instead of
+ * receiving an empty result.
+ */
+public class ApiException extends IOException {
+
+    public enum Kind {
+        /** Could not connect or the connection broke. */
+        CONNECTION,
+        /** Connect or request timeout elapsed. */
+        TIMEOUT,
+        /** Server answered with an unexpected status code. */
+        HTTP_STATUS,
+        /** Circuit breaker for the endpoint is open; request was not sent. */
+        CIRCUIT_OPEN
+    }
+
+    private final Kind kind;
+    private final int statusCode;
+
+    public ApiException(Kind kind, String message) {
+        this(kind, message, -1, null);
+    }
+
+    public ApiException(Kind kind, String message, int statusCode, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+        this.statusCode = statusCode;
+    }
+
+    public static ApiException httpStatus(int statusCode, String message) {
+        return new ApiException(Kind.HTTP_STATUS, message + " (status " + statusCode + ")", statusCode, null);
+    }
+
+    /** Wraps a transport-level IOException, keeping an existing ApiException as is. */
+    public static ApiException from(String endpoint, IOException e) {
+        if (e instanceof ApiException) return (ApiException) e;
+        if (e instanceof java.net.http.HttpTimeoutException) {
+            return new ApiException(Kind.TIMEOUT, endpoint + " timed out", -1, e);
+        }
+        String detail = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return new ApiException(Kind.CONNECTION, endpoint + ": " + detail, -1, e);
+    }
+
+    public Kind getKind() { return kind; }
+
+    /** HTTP status for HTTP_STATUS failures, otherwise -1. */
+    public int getStatusCode() { return statusCode; }
+}
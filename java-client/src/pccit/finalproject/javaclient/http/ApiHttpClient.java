@@ -1,6 +1,7 @@
 package pccit.finalproject.javaclient.http;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.CookieManager;
 import java.net.CookiePolicy;
 import java.net.URI;
@@ -9,74 +10,282 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * HTTP client that maintains session cookies (e.g. sid after login).
  * Uses CookieManager so that Set-Cookie from the server is stored and
  * sent automatically on subsequent requests to the same host.
+ *
+ * Resilience: idempotent calls (GET, DELETE) are retried with jittered exponential
+ * backoff on connection errors and 502/503/504; avatar GETs are hedged (a duplicate is
+ * sent if the first is slower than the recent p95, first response wins, within a small
+ * budget, see HedgePolicy); and each endpoint has a circuit
+ * breaker that fails fast with ApiException while the backend is down.
+ *
+ * Transport: HTTP/2 is preferred (api.httpVersion=HTTP_1_1 to disable). Over https it is
+ * negotiated with ALPN; over plain http the client offers an h2c upgrade and falls back to
+ * HTTP/1.1 if the server ignores it. On HTTP/2 concurrent requests (e.g. avatar bursts) are
+ * multiplexed over one connection. JSON GETs accept gzip/deflate and are decoded as a stream.
  */
 public class ApiHttpClient {
 
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
+    private static final int BREAKER_FAILURE_THRESHOLD = 5;
+    private static final long BREAKER_OPEN_MILLIS = 10_000;
+
     private final String baseUrl;
-    private final HttpClient client;
+    private final CookieManager cookieManager;
+    private volatile HttpClient client;
+    private final RetryPolicy retryPolicy = new RetryPolicy(3, 200, 2_000);
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final HedgePolicy hedgePolicy = new HedgePolicy(300, 50, 2_000, 0.05, 4);
 
     public ApiHttpClient(String baseUrl) {
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-        CookieManager cookieManager = new CookieManager();
+        this.cookieManager = new CookieManager();
         cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
-        this.client = HttpClient.newBuilder()
-                .cookieHandler(cookieManager)
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+    }
+
+    /**
+     * The HttpClient is built on first request rather than in the constructor: building it
+     * loads the java.net.http stack and starts its selector thread, which would otherwise
+     * sit on the startup path before the admin window is shown.
+     */
+    private HttpClient client() {
+        HttpClient c = client;
+        if (c == null) {
+            synchronized (this) {
+                c = client;
+                if (c == null) {
+                    c = HttpClient.newBuilder()
+                            .cookieHandler(cookieManager)
+                            .connectTimeout(CONNECT_TIMEOUT)
+                            .version(preferredVersion())
+                            .build();
+                    client = c;
+                }
+            }
+        }
+        return c;
     }
 
     public HttpResponse<String> postJson(String path, String jsonBody) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + path))
                 .header("Content-Type", "application/json; charset=utf-8")
-                .timeout(Duration.ofSeconds(15))
+                .timeout(REQUEST_TIMEOUT)
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8))
                 .build();
-        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        return execute("POST", path, false,
+                () -> client().send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
     }
 
     public HttpResponse<String> postNoBody(String path) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + path))
-                .timeout(Duration.ofSeconds(15))
+                .timeout(REQUEST_TIMEOUT)
                 .POST(HttpRequest.BodyPublishers.noBody())
                 .build();
-        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        return execute("POST", path, false,
+                () -> client().send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
     }
 
     public HttpResponse<String> get(String path) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + path))
-                .timeout(Duration.ofSeconds(15))
+                .timeout(REQUEST_TIMEOUT)
                 .GET()
                 .build();
-        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        return execute("GET", path, true,
+                () -> client().send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * GET with Accept-Encoding: gzip, deflate. The body is the decoded stream; the caller
+     * must read or close it so the connection can be reused.
+     */
+    public HttpResponse<InputStream> getJson(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", ContentDecoding.ACCEPT_ENCODING)
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        return execute("GET", path, true, () -> client().send(request, ContentDecoding.bodyHandler()));
     }
 
     public HttpResponse<byte[]> getBytes(String path) throws IOException, InterruptedException {
+        return getBytes(path, true);
+    }
+
+    /**
+     * GET returning the raw body. With hedge=false exactly one request is in flight per call,
+     * for callers that bound their own concurrency (e.g. bulk export).
+     */
+    public HttpResponse<byte[]> getBytes(String path, boolean hedge) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + path))
-                .timeout(Duration.ofSeconds(15))
+                .timeout(REQUEST_TIMEOUT)
                 .GET()
                 .build();
-        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        // Only the first attempt is hedged; retries already add load on a struggling backend.
+        AtomicBoolean firstAttempt = new AtomicBoolean(hedge);
+        return execute("GET", path, true, () -> firstAttempt.getAndSet(false)
+                ? sendHedged(request, HttpResponse.BodyHandlers.ofByteArray())
+                : client().send(request, HttpResponse.BodyHandlers.ofByteArray()));
     }
 
     public HttpResponse<String> delete(String path) throws IOException, InterruptedException {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + path))
-                .timeout(Duration.ofSeconds(15))
+                .timeout(REQUEST_TIMEOUT)
                 .DELETE()
                 .build();
-        return client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        return execute("DELETE", path, true,
+                () -> client().send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
     }
 
     public String getBaseUrl() {
         return baseUrl;
     }
+
+    /** Circuit state for an endpoint, e.g. ("GET", "/api/users"); CLOSED if never used. */
+    public CircuitBreaker.State getCircuitState(String method, String path) {
+        CircuitBreaker breaker = breakers.get(endpointKey(method, path));
+        return breaker != null ? breaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Runs one exchange through the endpoint's circuit breaker, retrying idempotent calls.
+     * The breaker is asked once per call and told one outcome once retries are done, so its
+     * threshold counts failed calls, not attempts. A 5xx response counts as a failure; after
+     * retries it is returned as is.
+     */
+    private <T> HttpResponse<T> execute(String method, String path, boolean idempotent, Exchange<T> exchange)
+            throws IOException, InterruptedException {
+        String endpoint = endpointKey(method, path);
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint,
+                k -> new CircuitBreaker(BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_MILLIS));
+        if (!breaker.tryAcquire()) {
+            throw new ApiException(ApiException.Kind.CIRCUIT_OPEN, endpoint + " unavailable, retrying in "
+                    + Math.max(1, breaker.remainingOpenMillis() / 1000) + " s");
+        }
+        int maxAttempts = idempotent ? retryPolicy.getMaxAttempts() : 1;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    HttpResponse<T> response = exchange.send();
+                    int status = response.statusCode();
+                    if (status < 500) {
+                        breaker.onSuccess();
+                        return response;
+                    }
+                    if (attempt >= maxAttempts || !isRetryableStatus(status)) {
+                        breaker.onFailure();
+                        return response;
+                    }
+                    if (response.body() instanceof InputStream) ((InputStream) response.body()).close();
+                } catch (IOException e) {
+                    if (attempt >= maxAttempts) {
+                        breaker.onFailure();
+                        throw ApiException.from(endpoint, e);
+                    }
+                }
+                retryPolicy.backoff(attempt);
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            breaker.onCancelled();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the request; if no response arrives within the hedge policy's delay (recent p95)
+     * and the hedge budget allows, sends a duplicate and returns whichever succeeds first.
+     * Only used for idempotent, cheap GETs.
+     */
+    private <T> HttpResponse<T> sendHedged(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        hedgePolicy.onRequest();
+        CompletableFuture<HttpResponse<T>> primary = client().sendAsync(request, handler);
+        primary.thenRun(() -> hedgePolicy.recordLatency(System.currentTimeMillis() - start));
+        try {
+            return primary.get(hedgePolicy.delayMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        } catch (TimeoutException slow) {
+            // fall through to hedge
+        }
+        if (!hedgePolicy.tryAcquireHedge()) {
+            try {
+                return primary.get();
+            } catch (ExecutionException e) {
+                throw asIOException(e.getCause());
+            }
+        }
+        CompletableFuture<HttpResponse<T>> hedge = client().sendAsync(request, handler);
+        hedge.whenComplete((r, ex) -> hedgePolicy.releaseHedge());
+        CompletableFuture<HttpResponse<T>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((r, ex) -> race(winner, failures, r, ex));
+        hedge.whenComplete((r, ex) -> race(winner, failures, r, ex));
+        try {
+            return winner.get();
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    private static <T> void race(CompletableFuture<HttpResponse<T>> winner, AtomicInteger failures,
+                                 HttpResponse<T> response, Throwable error) {
+        if (error == null) {
+            winner.complete(response);
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private static IOException asIOException(Throwable t) {
+        if (t instanceof java.util.concurrent.CompletionException && t.getCause() != null) t = t.getCause();
+        if (t instanceof IOException) return (IOException) t;
+        return new IOException(t.getMessage(), t);
+    }
+
+    /** HTTP version from the api.httpVersion system property (HTTP_2 or HTTP_1_1), default HTTP_2. */
+    private static HttpClient.Version preferredVersion() {
+        String v = System.getProperty("api.httpVersion", "HTTP_2");
+        try {
+            return HttpClient.Version.valueOf(v.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return HttpClient.Version.HTTP_2;
+        }
+    }
+
+    private static boolean isRetryableStatus(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    /** Groups concrete paths by endpoint, e.g. "GET /api/users/7/avatar" -> "GET /api/users/{id}/avatar". */
+    private static String endpointKey(String method, String path) {
+        return method + " " + path.replaceAll("/\\d+(?=/|$)", "/{id}");
+    }
+
+    @FunctionalInterface
+    private interface Exchange<T> {
+        HttpResponse<T> send() throws IOException, InterruptedException;
+    }
 }
@@ -0,0 +1,68 @@
+package pccit.finalproject.javaclient.http;
+
+/**
+ * Per-endpoint circuit breaker. After a run of consecutive failures the circuit opens
+ * and requests fail fast for a cool-down period; then a single probe is let through
+ * (half-open) and its outcome closes or re-opens the circuit.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /** Returns true if a request may be sent now. */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) return false;
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) return false;
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            probeInFlight = false;
+        }
+    }
+
+    /** The acquired request was abandoned (e.g. interrupted) without an outcome. */
+    public synchronized void onCancelled() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Milliseconds until an open circuit allows a probe, or 0. */
+    public synchronized long remainingOpenMillis() {
+        if (state != State.OPEN) return 0;
+        return Math.max(0, openMillis - (System.currentTimeMillis() - openedAt));
+    }
+}
@@ -0,0 +1,81 @@
+package pccit.finalproject.javaclient.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Transparent decoding of gzip/deflate response bodies. java.net.http does not
+ * decompress by itself, so the body is exposed as an InputStream that inflates while
+ * it is read; nothing is buffered into a String or byte[] first.
+ */
+final class ContentDecoding {
+
+    /** Value sent as Accept-Encoding on requests that use {@link #bodyHandler()}. */
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private ContentDecoding() {
+    }
+
+    /** Body handler yielding the decoded body stream according to Content-Encoding. */
+    static HttpResponse.BodyHandler<InputStream> bodyHandler() {
+        return info -> {
+            String encoding = info.headers().firstValue("Content-Encoding").orElse("identity").trim().toLowerCase();
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                    in -> new DecodingInputStream(in, encoding));
+        };
+    }
+
+    /**
+     * Creates the inflater on first read: the mapping function runs on the HTTP client's
+     * thread before body bytes arrive, and GZIPInputStream reads its header eagerly.
+     */
+    private static final class DecodingInputStream extends InputStream {
+        private final InputStream raw;
+        private final String encoding;
+        private InputStream decoded;
+
+        DecodingInputStream(InputStream raw, String encoding) {
+            this.raw = raw;
+            this.encoding = encoding;
+        }
+
+        private InputStream stream() throws IOException {
+            if (decoded == null) {
+                switch (encoding) {
+                    case "gzip":
+                    case "x-gzip":
+                        decoded = new GZIPInputStream(raw, 8192);
+                        break;
+                    case "deflate":
+                        decoded = new InflaterInputStream(raw);
+                        break;
+                    case "identity":
+                        decoded = raw;
+                        break;
+                    default:
+                        throw new IOException("Unsupported Content-Encoding: " + encoding);
+                }
+            }
+            return decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return stream().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return stream().read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoded != null) decoded.close();
+            else raw.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package pccit.finalproject.javaclient.http;
+
+/**
+ * Decides when a slow request may be hedged (duplicated). The hedge delay tracks the
+ * observed p95 latency of recent responses, so only the slowest ~5% of requests are
+ * candidates. A token budget also limits hedges to a fraction of all requests, plus a
+ * cap on hedges in flight, so a uniformly slow backend never gets double the load.
+ */
+public class HedgePolicy {
+
+    private static final int WINDOW = 128;
+    private static final int MIN_SAMPLES = 20;
+
+    private final long defaultDelayMillis;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final double budgetRatio;
+    private final int maxInFlight;
+
+    private final long[] samples = new long[WINDOW];
+    private int sampleCount;
+    private int nextSample;
+    private double tokens;
+    private int inFlight;
+
+    /**
+     * @param budgetRatio  hedges allowed per request on average, e.g. 0.05
+     * @param maxInFlight  hedges allowed at the same time
+     */
+    public HedgePolicy(long defaultDelayMillis, long minDelayMillis, long maxDelayMillis,
+                       double budgetRatio, int maxInFlight) {
+        this.defaultDelayMillis = defaultDelayMillis;
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.budgetRatio = budgetRatio;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** Called when a hedgeable request is sent; earns a fraction of a hedge token. */
+    public synchronized void onRequest() {
+        tokens = Math.min(1 / budgetRatio, tokens + budgetRatio);
+    }
+
+    /** Delay after which the request may be hedged: recent p95, or the default until enough samples. */
+    public synchronized long delayMillis() {
+        if (sampleCount < MIN_SAMPLES) return defaultDelayMillis;
+        long[] sorted = java.util.Arrays.copyOf(samples, sampleCount);
+        java.util.Arrays.sort(sorted);
+        long p95 = sorted[(int) Math.ceil(0.95 * sampleCount) - 1];
+        return Math.max(minDelayMillis, Math.min(maxDelayMillis, p95));
+    }
+
+    /** Takes a hedge token if the budget and in-flight cap allow; pair with {@link #releaseHedge()}. */
+    public synchronized boolean tryAcquireHedge() {
+        if (tokens < 1 || inFlight >= maxInFlight) return false;
+        tokens -= 1;
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void releaseHedge() {
+        inFlight--;
+    }
+
+    /** Records the latency of a completed response. */
+    public synchronized void recordLatency(long millis) {
+        samples[nextSample] = millis;
+        nextSample = (nextSample + 1) % WINDOW;
+        if (sampleCount < WINDOW) sampleCount++;
+    }
+}
@@ -0,0 +1,40 @@
+package pccit.finalproject.javaclient.http;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter: before retry n the caller sleeps a random
+ * time in [0, min(maxDelay, baseDelay * 2^(n-1))]. Randomising the whole delay keeps
+ * many clients from retrying in lock-step against a recovering backend.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be >= 1");
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /** Total attempts including the first one. */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /** Jittered delay before the given retry (1 = first retry). */
+    public long delayMillis(int retry) {
+        long cap = baseDelayMillis << Math.min(retry - 1, 20);
+        cap = Math.min(maxDelayMillis, Math.max(0, cap));
+        return cap == 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /** Sleeps for the jittered delay before the given retry. */
+    public void backoff(int retry) throws InterruptedException {
+        long delay = delayMillis(retry);
+        if (delay > 0) Thread.sleep(delay);
+    }
+}
@@ -0,0 +1,77 @@
+package pccit.finalproject.javaclient.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Artificial response delay for the stub backend. Parsed from a short spec so it can be
+ * given on the command line: {@code none}, {@code fixed:20}, {@code uniform:5:50},
+ * {@code exp:20} (exponential, mean ms) or {@code lognormal:20:0.8} (median ms, sigma),
+ * the last giving a realistic long tail.
+ */
+public abstract class LatencyModel {
+
+    /** Next delay in milliseconds. */
+    public abstract long nextMillis();
+
+    public static LatencyModel none() {
+        return fixed(0);
+    }
+
+    public static LatencyModel fixed(long millis) {
+        return new LatencyModel() {
+            @Override
+            public long nextMillis() { return millis; }
+            @Override
+            public String toString() { return "fixed:" + millis; }
+        };
+    }
+
+    public static LatencyModel uniform(long minMillis, long maxMillis) {
+        return new LatencyModel() {
+            @Override
+            public long nextMillis() { return ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1); }
+            @Override
+            public String toString() { return "uniform:" + minMillis + ":" + maxMillis; }
+        };
+    }
+
+    public static LatencyModel exponential(double meanMillis) {
+        return new LatencyModel() {
+            @Override
+            public long nextMillis() {
+                return Math.round(-meanMillis * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+            }
+            @Override
+            public String toString() { return "exp:" + meanMillis; }
+        };
+    }
+
+    public static LatencyModel logNormal(double medianMillis, double sigma) {
+        return new LatencyModel() {
+            @Override
+            public long nextMillis() {
+                return Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+            @Override
+            public String toString() { return "lognormal:" + medianMillis + ":" + sigma; }
+        };
+    }
+
+    /** Parses a spec such as "exp:20"; throws IllegalArgumentException if malformed. */
+    public static LatencyModel parse(String spec) {
+        String[] p = spec.trim().split(":");
+        try {
+            switch (p[0]) {
+                case "none": return none();
+                case "fixed": return fixed(Long.parseLong(p[1]));
+                case "uniform": return uniform(Long.parseLong(p[1]), Long.parseLong(p[2]));
+                case "exp": return exponential(Double.parseDouble(p[1]));
+                case "lognormal": return logNormal(Double.parseDouble(p[1]), Double.parseDouble(p[2]));
+                default: break;
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Bad latency spec: " + spec);
+    }
+}
@@ -0,0 +1,55 @@
+package pccit.finalproject.javaclient.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects per-operation latencies for one load scenario and reports throughput and
+ * percentiles. Thread-safe; keeps every sample, which is fine for driver-sized runs.
+ */
+public class LatencyStats {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+    private long bytes;
+    private long startNanos;
+    private long endNanos;
+
+    public LatencyStats(String name) {
+        this.name = name;
+    }
+
+    public synchronized void start() {
+        startNanos = System.nanoTime();
+    }
+
+    public synchronized void stop() {
+        endNanos = System.nanoTime();
+    }
+
+    /** Records one operation; failed ones count as errors but their latency is kept too. */
+    public synchronized void record(long nanos, boolean ok, long payloadBytes) {
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+        if (!ok) errors++;
+        bytes += payloadBytes;
+    }
+
+    /** One report line: ops, errors, ops/s, MB/s, p50/p90/p99/max in ms. */
+    public synchronized String summary() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        double seconds = Math.max(1, endNanos - startNanos) / 1e9;
+        return String.format("%-8s ops=%-6d errors=%-5d %9.1f ops/s %8.2f MB/s  p50=%7.1f p90=%7.1f p99=%7.1f max=%7.1f ms",
+                name, count, errors, count / seconds, bytes / seconds / (1024 * 1024),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.90),
+                percentileMillis(sorted, 0.99), count > 0 ? sorted[count - 1] / 1e6 : 0);
+    }
+
+    private static double percentileMillis(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))] / 1e6;
+    }
+}
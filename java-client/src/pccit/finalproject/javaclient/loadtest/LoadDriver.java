@@ -0,0 +1,259 @@
+package pccit.finalproject.javaclient.loadtest;
+
+import pccit.finalproject.javaclient.api.ApiClient;
+import pccit.finalproject.javaclient.http.ApiException;
+import pccit.finalproject.javaclient.model.LoginResult;
+import pccit.finalproject.javaclient.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end load driver for ApiClient. Runs login, user-list, avatar-scrolling and
+ * bulk-delete scenarios against a backend and prints throughput and latency percentiles.
+ * Without --url it starts an in-process StubBackend, so runs are reproducible offline.
+ *
+ * Usage: LoadDriver [--url URL] [--scenarios login,list,avatar,delete] [--concurrency 8]
+ * [--iterations 200] [--scroll-interval-ms 20] [--user admin] [--password admin]
+ * plus stub options when no --url is given: [--users N] [--bio-bytes N] [--avatar-bytes N]
+ * [--latency spec] [--error-rate 0.01] (see LatencyModel for specs).
+ */
+public class LoadDriver {
+
+    private static final int SETUP_ATTEMPTS = 10;
+    private static final long SETUP_RETRY_MILLIS = 100;
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final int concurrency;
+    private final int iterations;
+    private final long scrollIntervalMillis;
+
+    public LoadDriver(String baseUrl, String username, String password, int concurrency, int iterations,
+                      long scrollIntervalMillis) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.concurrency = Math.max(1, concurrency);
+        this.iterations = Math.max(1, iterations);
+        this.scrollIntervalMillis = scrollIntervalMillis;
+    }
+
+    /** Each of {@code concurrency} workers has its own client (cookie jar) and loops login + logout. */
+    public LatencyStats runLogin() throws InterruptedException {
+        LatencyStats stats = new LatencyStats("login");
+        ApiClient[] clients = new ApiClient[concurrency];
+        for (int i = 0; i < concurrency; i++) clients[i] = new ApiClient(baseUrl);
+        runWorkers(stats, (worker, i) -> {
+            long t0 = System.nanoTime();
+            LoginResult r = clients[worker].login(username, password);
+            stats.record(System.nanoTime() - t0, r.isSuccess(), 0);
+            clients[worker].logout();
+        });
+        return stats;
+    }
+
+    /**
+     * One admin session shared by all workers, each fetching and parsing the full user list.
+     * Payload is the decoded JSON size, so MB/s is parse throughput rather than wire bytes.
+     */
+    public LatencyStats runList() throws InterruptedException {
+        LatencyStats stats = new LatencyStats("list");
+        ApiClient api = loggedInClient();
+        runWorkers(stats, (worker, i) -> {
+            long t0 = System.nanoTime();
+            long[] bytes = new long[1];
+            boolean ok;
+            try {
+                ok = !api.getUsers(n -> bytes[0] = n).isEmpty();
+            } catch (ApiException e) {
+                ok = false;
+            }
+            stats.record(System.nanoTime() - t0, ok, bytes[0]);
+        });
+        return stats;
+    }
+
+    /**
+     * Mimics scrolling the admin table with the keyboard: every scroll interval the next row is
+     * selected and its avatar requested through fetchAvatarAsync, as AdminFrame does, without
+     * waiting for earlier ones. Latency is from selection to callback.
+     */
+    public LatencyStats runAvatarScroll() throws InterruptedException {
+        LatencyStats stats = new LatencyStats("avatar");
+        ApiClient api = loggedInClient();
+        List<User> users = listOrEmpty(api);
+        int n = Math.min(iterations, users.size());
+        CountDownLatch done = new CountDownLatch(n);
+        stats.start();
+        for (int i = 0; i < n; i++) {
+            long t0 = System.nanoTime();
+            api.fetchAvatarAsync(users.get(i).getId(), new ApiClient.AvatarCallback() {
+                @Override
+                public void onAvatarLoaded(byte[] imageBytes) {
+                    stats.record(System.nanoTime() - t0, true, imageBytes.length);
+                    done.countDown();
+                }
+                @Override
+                public void onAvatarError(String message) {
+                    stats.record(System.nanoTime() - t0, false, 0);
+                    done.countDown();
+                }
+            });
+            if (scrollIntervalMillis > 0) Thread.sleep(scrollIntervalMillis);
+        }
+        done.await();
+        stats.stop();
+        return stats;
+    }
+
+    /** Deletes up to {@code iterations} non-admin users with {@code concurrency} parallel requests. */
+    public LatencyStats runBulkDelete() throws InterruptedException {
+        LatencyStats stats = new LatencyStats("delete");
+        ApiClient api = loggedInClient();
+        List<User> victims = new ArrayList<>();
+        for (User u : listOrEmpty(api)) {
+            if (!u.isAdmin() && victims.size() < iterations) victims.add(u);
+        }
+        runWorkers(stats, victims.size(), (worker, i) -> {
+            long t0 = System.nanoTime();
+            boolean ok;
+            try {
+                ok = api.deleteUser(victims.get(i).getId());
+            } catch (ApiException e) {
+                ok = false;
+            }
+            stats.record(System.nanoTime() - t0, ok, 0);
+        });
+        return stats;
+    }
+
+    /**
+     * Setup calls (the admin login and the initial user list) see the same injected errors as
+     * the measured ones, and login is a POST that ApiClient never retries, so they are retried
+     * here; otherwise --error-rate would abort the scenario before it starts.
+     */
+    private ApiClient loggedInClient() throws InterruptedException {
+        ApiClient api = new ApiClient(baseUrl);
+        LoginResult r = api.login(username, password);
+        for (int attempt = 1; !r.isSuccess() && attempt < SETUP_ATTEMPTS; attempt++) {
+            Thread.sleep(SETUP_RETRY_MILLIS * attempt);
+            r = api.login(username, password);
+        }
+        if (!r.isSuccess() || !r.isAdmin()) {
+            throw new IllegalStateException("Admin login failed: " + (r.isSuccess() ? "not admin" : r.getErrorMessage()));
+        }
+        return api;
+    }
+
+    private static List<User> listOrEmpty(ApiClient api) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return api.getUsers();
+            } catch (ApiException e) {
+                if (attempt >= SETUP_ATTEMPTS) return List.of();
+                Thread.sleep(SETUP_RETRY_MILLIS * attempt);
+            }
+        }
+    }
+
+    private void runWorkers(LatencyStats stats, Op op) throws InterruptedException {
+        runWorkers(stats, iterations, op);
+    }
+
+    /** Runs {@code total} operations spread over {@code concurrency} worker threads. */
+    private void runWorkers(LatencyStats stats, int total, Op op) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "load-driver");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger next = new AtomicInteger();
+        stats.start();
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            pool.execute(() -> {
+                for (int i = next.getAndIncrement(); i < total; i = next.getAndIncrement()) {
+                    op.run(worker, i);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        stats.stop();
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        void run(int worker, int iteration);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        String user = opts.getOrDefault("user", "admin");
+        String pass = opts.getOrDefault("password", "admin");
+        StubBackend stub = null;
+        String url = opts.get("url");
+        if (url == null) {
+            StubBackend.Config config = new StubBackend.Config();
+            applyStubArgs(config, args);
+            stub = new StubBackend(config);
+            stub.start();
+            url = stub.getBaseUrl();
+            System.out.println("Started stub backend at " + url + " with " + stub.getUserCount() + " users, latency "
+                    + opts.getOrDefault("latency", "none") + ", error rate " + opts.getOrDefault("error-rate", "0"));
+        }
+        LoadDriver driver = new LoadDriver(url, user, pass,
+                Integer.parseInt(opts.getOrDefault("concurrency", "8")),
+                Integer.parseInt(opts.getOrDefault("iterations", "200")),
+                Long.parseLong(opts.getOrDefault("scroll-interval-ms", "20")));
+        try {
+            for (String scenario : opts.getOrDefault("scenarios", "login,list,avatar,delete").split(",")) {
+                LatencyStats stats;
+                switch (scenario.trim()) {
+                    case "login": stats = driver.runLogin(); break;
+                    case "list": stats = driver.runList(); break;
+                    case "avatar": stats = driver.runAvatarScroll(); break;
+                    case "delete": stats = driver.runBulkDelete(); break;
+                    default: throw new IllegalArgumentException("Unknown scenario: " + scenario);
+                }
+                System.out.println(stats.summary());
+            }
+        } finally {
+            if (stub != null) stub.stop();
+        }
+    }
+
+    /** Applies the stub options (--port, --users, --bio-bytes, ...) found in args to config. */
+    static void applyStubArgs(StubBackend.Config config, String[] args) {
+        Map<String, String> opts = parseArgs(args);
+        if (opts.containsKey("port")) config.port(Integer.parseInt(opts.get("port")));
+        if (opts.containsKey("users")) config.userCount(Integer.parseInt(opts.get("users")));
+        if (opts.containsKey("bio-bytes")) config.bioBytes(Integer.parseInt(opts.get("bio-bytes")));
+        if (opts.containsKey("avatar-bytes")) config.avatarBytes(Integer.parseInt(opts.get("avatar-bytes")));
+        if (opts.containsKey("latency")) config.latency(LatencyModel.parse(opts.get("latency")));
+        if (opts.containsKey("error-rate")) config.errorRate(Double.parseDouble(opts.get("error-rate")));
+        config.credentials(opts.getOrDefault("user", "admin"), opts.getOrDefault("password", "admin"));
+    }
+
+    /** Parses "--key value" pairs. */
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + Arrays.toString(args));
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
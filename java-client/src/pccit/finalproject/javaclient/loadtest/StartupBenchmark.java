@@ -0,0 +1,141 @@
+package pccit.finalproject.javaclient.loadtest;
+
+import pccit.finalproject.javaclient.Main;
+
+import javax.swing.*;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures cold start of the admin client: time from JVM launch to the first visible
+ * frame, and to the first rendered user-table row (after logging in automatically).
+ * Goes through the same Main.createAndShowFrame() path as a normal start, prints one
+ * result line and exits, so it also serves as the training run for the AppCDS archive
+ * (see scripts/startup-cds.sh).
+ *
+ * Times are measured from bench.launchMillis (epoch ms taken by the launcher just before
+ * starting java, see the script) or, without it, from the JVM start time, which misses
+ * only the launcher's own setup. Both are millisecond-resolution.
+ *
+ * Properties: api.baseUrl / api.baseUrls as usual; bench.user and bench.password
+ * (default admin/admin, matching StubBackend); bench.login=false to stop at the frame;
+ * bench.launchMillis as above.
+ */
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    // Absolute epoch-ms timestamps; subtracted from the launch time only in finish(), so the
+    // management classes needed for the JVM start time are not loaded during the measurement.
+    private static volatile long frameVisibleAt = -1;
+    private static volatile boolean rowRendered;
+
+    public static void main(String[] args) {
+        boolean login = Boolean.parseBoolean(System.getProperty("bench.login", "true"));
+
+        Toolkit.getDefaultToolkit().addAWTEventListener(e -> {
+            if (e.getID() == WindowEvent.WINDOW_OPENED && frameVisibleAt < 0) {
+                frameVisibleAt = System.currentTimeMillis();
+                if (!login) finish(-1);
+            }
+        }, AWTEvent.WINDOW_EVENT_MASK);
+
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = Main.createAndShowFrame();
+            if (login) startLogin(frame);
+        });
+
+        Thread watchdog = new Thread(() -> {
+            try {
+                Thread.sleep(TIMEOUT_MILLIS);
+            } catch (InterruptedException ignored) {
+                return;
+            }
+            System.err.println("startup benchmark timed out (is the backend at api.baseUrl running?)");
+            System.exit(1);
+        }, "startup-benchmark-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /** Fills in the login form, clicks Login and watches for the first table cell paint. */
+    private static void startLogin(JFrame frame) {
+        JTable table = find(frame, JTable.class);
+        JPasswordField password = find(frame, JPasswordField.class);
+        JTextField user = findUsernameField(frame);
+        JButton loginButton = findButton(frame, "Login");
+        if (table == null || user == null || password == null || loginButton == null) {
+            System.err.println("startup benchmark: admin window layout not recognised");
+            System.exit(1);
+        }
+        for (Class<?> type : new Class<?>[] { Object.class, String.class, Integer.class }) {
+            TableCellRenderer delegate = table.getDefaultRenderer(type);
+            table.setDefaultRenderer(type, (t, value, selected, focus, row, col) -> {
+                if (!rowRendered) {
+                    rowRendered = true;
+                    long firstRowAt = System.currentTimeMillis();
+                    SwingUtilities.invokeLater(() -> finish(firstRowAt));
+                }
+                return delegate.getTableCellRendererComponent(t, value, selected, focus, row, col);
+            });
+        }
+        user.setText(System.getProperty("bench.user", "admin"));
+        password.setText(System.getProperty("bench.password", "admin"));
+        loginButton.doClick();
+    }
+
+    private static void finish(long firstRowAt) {
+        long launch = launchMillis();
+        System.out.println("startup frame_visible_ms=" + (frameVisibleAt - launch)
+                + (firstRowAt >= 0 ? " first_row_ms=" + (firstRowAt - launch) : ""));
+        System.exit(0);
+    }
+
+    private static long launchMillis() {
+        String launch = System.getProperty("bench.launchMillis");
+        if (launch != null) {
+            try {
+                return Long.parseLong(launch.trim());
+            } catch (NumberFormatException ignored) {
+                // fall back to the JVM start time
+            }
+        }
+        return ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    private static <T extends Component> T find(Container root, Class<T> type) {
+        for (Component c : root.getComponents()) {
+            if (type.isInstance(c)) return type.cast(c);
+            if (c instanceof Container) {
+                T found = find((Container) c, type);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+    /** First plain text field (JPasswordField is also a JTextField). */
+    private static JTextField findUsernameField(Container root) {
+        for (Component c : root.getComponents()) {
+            if (c instanceof JTextField && !(c instanceof JPasswordField)) return (JTextField) c;
+            if (c instanceof Container) {
+                JTextField found = findUsernameField((Container) c);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+    private static JButton findButton(Container root, String text) {
+        for (Component c : root.getComponents()) {
+            if (c instanceof JButton && text.equals(((JButton) c).getText())) return (JButton) c;
+            if (c instanceof Container) {
+                JButton found = findButton((Container) c, text);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,292 @@
+package pccit.finalproject.javaclient.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process stand-in for the Node backend, built on com.sun.net.httpserver, so the
+ * client can be exercised and load-tested offline. Implements the endpoints the admin
+ * client uses: POST /api/login, POST /api/logout, GET /api/users, DELETE /api/users/:id
+ * and GET /api/users/:id/avatar, with the same JSON shapes, sid cookie and status codes.
+ *
+ * User count, bio and avatar payload sizes, response latency and an injected 503 error
+ * rate are configurable. Like the Node backend's compression middleware, JSON bodies of
+ * 1 KB or more are gzipped when the client sends Accept-Encoding: gzip.
+ * Run {@link #main} to serve it standalone for the Swing client.
+ */
+public class StubBackend {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/api/users/(\\d+)(/avatar)?$");
+    private static final int GZIP_MIN_BYTES = 1024;
+    private static final Pattern JSON_STRING = Pattern.compile("\"(username|password)\"\\s*:\\s*\"([^\"]*)\"");
+
+    /** Settings for the stub; setters return this for chaining. */
+    public static class Config {
+        private int port = 0;
+        private int userCount = 1000;
+        private int bioBytes = 200;
+        private int avatarBytes = 16 * 1024;
+        private LatencyModel latency = LatencyModel.none();
+        private double errorRate = 0;
+        private String adminUsername = "admin";
+        private String adminPassword = "admin";
+
+        /** Port to bind; 0 picks a free one. */
+        public Config port(int port) { this.port = port; return this; }
+        public Config userCount(int userCount) { this.userCount = userCount; return this; }
+        /** Length of each user's bio, to scale the /api/users payload. */
+        public Config bioBytes(int bioBytes) { this.bioBytes = bioBytes; return this; }
+        /** Approximate size of the avatar PNG. */
+        public Config avatarBytes(int avatarBytes) { this.avatarBytes = avatarBytes; return this; }
+        public Config latency(LatencyModel latency) { this.latency = latency; return this; }
+        /** Fraction (0..1) of requests answered with 503. */
+        public Config errorRate(double errorRate) { this.errorRate = errorRate; return this; }
+        public Config credentials(String username, String password) {
+            this.adminUsername = username;
+            this.adminPassword = password;
+            return this;
+        }
+    }
+
+    private final Config config;
+    private final Map<Integer, String> userJson = new ConcurrentSkipListMap<>();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final byte[] avatar;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StubBackend(Config config) {
+        this.config = config;
+        String bio = "x".repeat(Math.max(0, config.bioBytes));
+        userJson.put(1, userObject(1, config.adminUsername, bio, true));
+        for (int id = 2; id <= config.userCount; id++) {
+            userJson.put(id, userObject(id, "user" + id, bio, false));
+        }
+        this.avatar = noisePng(config.avatarBytes);
+    }
+
+    public synchronized void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", config.port), 256);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stub-backend");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/login", ex -> handle(ex, this::login));
+        server.createContext("/api/logout", ex -> handle(ex, this::logout));
+        server.createContext("/api/users", ex -> handle(ex, this::users));
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Users currently present (deletes remove them). */
+    public int getUserCount() {
+        return userJson.size();
+    }
+
+    private void handle(HttpExchange ex, Handler handler) throws IOException {
+        try {
+            // Read the body before answering: unread request bytes make HttpServer drop the keep-alive connection.
+            byte[] body = ex.getRequestBody().readAllBytes();
+            long delay = config.latency.nextMillis();
+            if (delay > 0) Thread.sleep(delay);
+            if (config.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < config.errorRate) {
+                sendError(ex, 503, "unavailable", "Injected failure");
+                return;
+            }
+            handler.handle(ex, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void login(HttpExchange ex, byte[] requestBody) throws IOException {
+        if (!"POST".equals(ex.getRequestMethod())) {
+            sendError(ex, 404, "not_found", "Not found");
+            return;
+        }
+        String body = new String(requestBody, StandardCharsets.UTF_8);
+        String username = null;
+        String password = null;
+        Matcher m = JSON_STRING.matcher(body);
+        while (m.find()) {
+            if ("username".equals(m.group(1))) username = m.group(2);
+            else password = m.group(2);
+        }
+        if (username == null || password == null || username.isEmpty() || password.isEmpty()) {
+            sendError(ex, 400, "bad_request", "Missing credentials");
+            return;
+        }
+        if (!config.adminUsername.equals(username.trim()) || !config.adminPassword.equals(password)) {
+            sendError(ex, 401, "invalid_credentials", "Invalid credentials");
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        sessions.add(token);
+        ex.getResponseHeaders().add("Set-Cookie", "sid=" + token + "; Path=/; HttpOnly; SameSite=Lax");
+        sendJson(ex, 200, "{\"id\":1,\"username\":\"" + config.adminUsername
+                + "\",\"realName\":\"Admin\",\"isAdmin\":true,\"avatarType\":\"predefined\",\"avatarKey\":\"pikachu\",\"avatarPath\":null}");
+    }
+
+    private void logout(HttpExchange ex, byte[] requestBody) throws IOException {
+        String sid = sessionId(ex);
+        if (sid != null) sessions.remove(sid);
+        ex.getResponseHeaders().add("Set-Cookie", "sid=; Path=/; Max-Age=0; HttpOnly; SameSite=Lax");
+        ex.sendResponseHeaders(204, -1);
+    }
+
+    private void users(HttpExchange ex, byte[] requestBody) throws IOException {
+        String path = ex.getRequestURI().getPath();
+        String method = ex.getRequestMethod();
+        if (path.equals("/api/users") && "GET".equals(method)) {
+            if (!requireAdmin(ex)) return;
+            StringBuilder sb = new StringBuilder(userJson.size() * (config.bioBytes + 200)).append('[');
+            for (String u : userJson.values()) {
+                if (sb.length() > 1) sb.append(',');
+                sb.append(u);
+            }
+            sendJson(ex, 200, sb.append(']').toString());
+            return;
+        }
+        Matcher m = USER_PATH.matcher(path);
+        if (!m.matches()) {
+            sendError(ex, 404, "not_found", "Not found");
+            return;
+        }
+        int id = Integer.parseInt(m.group(1));
+        if (m.group(2) != null && "GET".equals(method)) {
+            if (!userJson.containsKey(id)) {
+                sendError(ex, 404, "not_found", "User not found");
+                return;
+            }
+            ex.getResponseHeaders().add("Content-Type", "image/png");
+            ex.sendResponseHeaders(200, avatar.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(avatar);
+            }
+        } else if (m.group(2) == null && "DELETE".equals(method)) {
+            if (!requireAdmin(ex)) return;
+            userJson.remove(id);
+            ex.sendResponseHeaders(204, -1);
+        } else {
+            sendError(ex, 404, "not_found", "Not found");
+        }
+    }
+
+    private boolean requireAdmin(HttpExchange ex) throws IOException {
+        String sid = sessionId(ex);
+        if (sid == null || !sessions.contains(sid)) {
+            sendError(ex, 401, "unauthenticated", "Login required");
+            return false;
+        }
+        return true;
+    }
+
+    private static String sessionId(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Cookie");
+        if (header == null) return null;
+        for (String part : header.split(";")) {
+            String p = part.trim();
+            if (p.startsWith("sid=")) return p.substring(4);
+        }
+        return null;
+    }
+
+    private static void sendError(HttpExchange ex, int status, String code, String message) throws IOException {
+        sendJson(ex, status, "{\"error\":{\"code\":\"" + code + "\",\"message\":\"" + message + "\"}}");
+    }
+
+    private static void sendJson(HttpExchange ex, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        String accept = ex.getRequestHeaders().getFirst("Accept-Encoding");
+        if (bytes.length >= GZIP_MIN_BYTES && accept != null && accept.contains("gzip")) {
+            ex.getResponseHeaders().add("Content-Encoding", "gzip");
+            ex.getResponseHeaders().add("Vary", "Accept-Encoding");
+            ex.sendResponseHeaders(status, 0);
+            try (OutputStream out = new GZIPOutputStream(ex.getResponseBody(), 8192)) {
+                out.write(bytes);
+            }
+            return;
+        }
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String userObject(int id, String username, String bio, boolean admin) {
+        return "{\"id\":" + id + ",\"username\":\"" + username + "\",\"realName\":\"User " + id
+                + "\",\"dob\":\"1990-01-01\",\"bio\":\"" + bio + "\",\"avatarType\":\"predefined\",\"avatarKey\":\"pikachu\""
+                + ",\"avatarPath\":null,\"isAdmin\":" + admin + ",\"articleCount\":" + (id % 7) + "}";
+    }
+
+    /** Random-noise PNG; noise barely compresses, so ~3 bytes per RGB pixel. */
+    private static byte[] noisePng(int approxBytes) {
+        int side = Math.max(1, (int) Math.sqrt(Math.max(1, approxBytes) / 3.0));
+        BufferedImage img = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) img.setRGB(x, y, rnd.nextInt(0x1000000));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(img, "png", out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange ex, byte[] requestBody) throws IOException;
+    }
+
+    /**
+     * Serves the stub standalone, e.g. for the Swing client:
+     * StubBackend [--port 3001] [--users N] [--bio-bytes N] [--avatar-bytes N]
+     * [--latency spec] [--error-rate 0.01] [--user admin] [--password admin]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Config config = new Config().port(3001);
+        LoadDriver.applyStubArgs(config, args);
+        StubBackend stub = new StubBackend(config);
+        stub.start();
+        System.out.println("Stub backend listening on " + stub.getBaseUrl() + " with " + stub.getUserCount() + " users");
+        Thread.currentThread().join();
+    }
+}
@@ -14,9 +14,16 @@ public class User {
     private final String avatarPath;
     private final boolean admin;
     private final int articleCount;
+    private final String origin;
 
     public User(int id, String username, String realName, String dob, String bio,
                 String avatarType, String avatarKey, String avatarPath, boolean admin, int articleCount) {
+        this(id, username, realName, dob, bio, avatarType, avatarKey, avatarPath, admin, articleCount, "");
+    }
+
+    public User(int id, String username, String realName, String dob, String bio,
+                String avatarType, String avatarKey, String avatarPath, boolean admin, int articleCount,
+                String origin) {
         this.id = id;
         this.username = username != null ? username : "";
         this.realName = realName != null ? realName : "";
@@ -27,6 +34,12 @@ public class User {
         this.avatarPath = avatarPath != null ? avatarPath : "";
         this.admin = admin;
         this.articleCount = articleCount;
+        this.origin = origin != null ? origin : "";
+    }
+
+    /** Copy of this user tagged with the backend it was loaded from (see BackendPool). */
+    public User withOrigin(String origin) {
+        return new User(id, username, realName, dob, bio, avatarType, avatarKey, avatarPath, admin, articleCount, origin);
     }
 
     public int getId() { return id; }
@@ -39,4 +52,5 @@ public class User {
     public String getAvatarPath() { return avatarPath; }
     public boolean isAdmin() { return admin; }
     public int getArticleCount() { return articleCount; }
+    public String getOrigin() { return origin; }
 }
@@ -1,23 +1,36 @@
 package pccit.finalproject.javaclient.ui;
 
 import pccit.finalproject.javaclient.api.ApiClient;
+import pccit.finalproject.javaclient.api.BackendPool;
+import pccit.finalproject.javaclient.export.AvatarExportJob;
+import pccit.finalproject.javaclient.export.ExportProgress;
+import pccit.finalproject.javaclient.http.ApiException;
 import pccit.finalproject.javaclient.model.LoginResult;
 import pccit.finalproject.javaclient.model.User;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Main admin window: login/logout, user table, selected user profile panel, delete user.
  * Buttons are enabled/disabled according to current state (requirement 11).
+ * Can hold sessions to several backends at once (api.baseUrls, comma-separated);
+ * user lists are merged into one table and actions are routed to each row's origin.
  */
 public class AdminFrame extends JFrame {
 
-    private static final String DEFAULT_BASE_URL = "http://localhost:3001";
-
-    private final ApiClient api;
+    private final BackendPool backends;
+    private final List<String> loggedInOrigins = new ArrayList<>();
     private boolean loggedIn;
+    /** Bumped by every login and logout; callbacks from an older login are dropped. EDT only. */
+    private int loginGeneration;
+    private boolean loginRunning;
 
     private final JTextField usernameField;
     private final JPasswordField passwordField;
@@ -26,14 +39,18 @@ public class AdminFrame extends JFrame {
     private final JTable userTable;
     private final UserTableModel tableModel;
     private final JButton deleteUserButton;
+    private final JButton exportButton;
+    private final JProgressBar exportProgress;
+    private final JLabel exportStatus;
+    private SwingWorker<ExportProgress, ExportProgress> exportWorker;
+    private AvatarExportJob exportJob;
     private final AvatarPanel avatarPanel;
 
     public AdminFrame() {
         super("Admin – User Management");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-        String baseUrl = System.getProperty("api.baseUrl", DEFAULT_BASE_URL);
-        this.api = new ApiClient(baseUrl);
+        this.backends = BackendPool.fromSystemProperties();
         this.loggedIn = false;
 
         usernameField = new JTextField(12);
@@ -47,6 +64,11 @@ public class AdminFrame extends JFrame {
             if (!e.getValueIsAdjusting()) onSelectionChanged();
         });
         deleteUserButton = new JButton("Delete user");
+        exportButton = new JButton("Export avatars…");
+        exportProgress = new JProgressBar();
+        exportProgress.setStringPainted(true);
+        exportProgress.setVisible(false);
+        exportStatus = new JLabel();
         avatarPanel = new AvatarPanel();
 
         buildLayout();
@@ -69,6 +91,9 @@ public class AdminFrame extends JFrame {
         tableAndDelete.add(tableScroll, BorderLayout.CENTER);
         JPanel deleteRow = new JPanel(new FlowLayout(FlowLayout.LEFT));
         deleteRow.add(deleteUserButton);
+        deleteRow.add(exportButton);
+        deleteRow.add(exportProgress);
+        deleteRow.add(exportStatus);
         tableAndDelete.add(deleteRow, BorderLayout.SOUTH);
 
         JPanel centerWithAvatar = new JPanel(new BorderLayout(10, 0));
@@ -81,36 +106,72 @@ public class AdminFrame extends JFrame {
         loginButton.addActionListener(e -> onLogin());
         logoutButton.addActionListener(e -> onLogout());
         deleteUserButton.addActionListener(e -> onDeleteUser());
+        exportButton.addActionListener(e -> onExportAvatars());
     }
 
+    /**
+     * Logs in to every backend; each backend's rows are appended as soon as its own login and
+     * user list are done, so a slow node does not hold up the others.
+     */
     private void onLogin() {
         String username = usernameField.getText();
         String password = new String(passwordField.getPassword());
+        int generation = ++loginGeneration;
+        loginRunning = true;
         loginButton.setEnabled(false);
-        SwingWorker<LoginResult, Void> worker = new SwingWorker<>() {
+        loggedInOrigins.clear();
+        tableModel.clear();
+        avatarPanel.clearSelection();
+        // Per-backend problems (failed or non-admin login, failed user list); EDT only.
+        Map<String, String> problems = new LinkedHashMap<>();
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
             @Override
-            protected LoginResult doInBackground() {
-                return api.login(username, password);
+            protected Void doInBackground() throws InterruptedException {
+                // Callbacks are queued with invokeLater, so they all run on the EDT before done().
+                backends.loginAndFetchUsers(username, password, new BackendPool.LoginListener() {
+                    @Override
+                    public void onShardLogin(String origin, LoginResult result) {
+                        SwingUtilities.invokeLater(() -> onBackendLogin(generation, origin, result, problems));
+                    }
+                    @Override
+                    public void onShardUsers(String origin, List<User> users) {
+                        SwingUtilities.invokeLater(() -> {
+                            if (generation != loginGeneration) return;
+                            tableModel.addUsers(users);
+                            updateButtonStates();
+                        });
+                    }
+                    @Override
+                    public void onShardError(String origin, ApiException error) {
+                        SwingUtilities.invokeLater(() -> {
+                            if (generation == loginGeneration) problems.put(origin, "Could not load users - " + error.getMessage());
+                        });
+                    }
+                });
+                return null;
             }
             @Override
             protected void done() {
+                if (generation != loginGeneration) return;
+                loginRunning = false;
                 try {
-                    LoginResult result = get();
-                    if (result.isSuccess() && result.isAdmin()) {
-                        loggedIn = true;
-                        loadUsersIntoTable();
-                        updateButtonStates();
-                    } else {
-                        String msg = result.isSuccess()
-                                ? "You are not an administrator."
-                                : (result.getErrorMessage() != null ? result.getErrorMessage() : "Authentication failed.");
-                        JOptionPane.showMessageDialog(AdminFrame.this, msg, "Login failed", JOptionPane.ERROR_MESSAGE);
-                        api.logout();
-                        loggedIn = false;
-                    }
+                    get();
                 } catch (Exception ex) {
                     JOptionPane.showMessageDialog(AdminFrame.this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+                StringBuilder msg = new StringBuilder();
+                for (Map.Entry<String, String> e : problems.entrySet()) {
+                    if (backends.size() > 1) msg.append(e.getKey()).append(": ");
+                    msg.append(e.getValue()).append('\n');
+                }
+                if (loggedInOrigins.isEmpty()) {
                     loggedIn = false;
+                    if (msg.length() > 0) {
+                        JOptionPane.showMessageDialog(AdminFrame.this, msg.toString().trim(), "Login failed", JOptionPane.ERROR_MESSAGE);
+                    }
+                } else if (msg.length() > 0) {
+                    JOptionPane.showMessageDialog(AdminFrame.this, msg.toString().trim(),
+                            "Some backends unavailable", JOptionPane.WARNING_MESSAGE);
                 }
                 updateButtonStates();
             }
@@ -118,28 +179,32 @@ public class AdminFrame extends JFrame {
         worker.execute();
     }
 
-    private void loadUsersIntoTable() {
-        SwingWorker<List<User>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<User> doInBackground() {
-                return api.getUsers();
-            }
-            @Override
-            protected void done() {
-                try {
-                    tableModel.setUsers(get());
-                } catch (Exception ex) {
-                    tableModel.setUsers(List.of());
-                }
-                avatarPanel.clearSelection();
-                updateButtonStates();
-            }
-        };
-        worker.execute();
+    /** One backend's login result; the first admin session switches the window to logged in. */
+    private void onBackendLogin(int generation, String origin, LoginResult result, Map<String, String> problems) {
+        if (generation != loginGeneration) {
+            // Logged out meanwhile: do not leave this late session open. Not while a newer login
+            // runs or holds sessions, which share this backend's cookie jar.
+            if (result.isSuccess() && !loggedIn && !loginRunning) backends.logout(List.of(origin));
+            return;
+        }
+        if (result.isSuccess() && result.isAdmin()) {
+            loggedInOrigins.add(origin);
+            loggedIn = true;
+            updateButtonStates();
+            return;
+        }
+        // Non-admin sessions are not kept (BackendPool logs them out), as with a single backend.
+        problems.put(origin, result.isSuccess()
+                ? "You are not an administrator."
+                : (result.getErrorMessage() != null ? result.getErrorMessage() : "Authentication failed."));
     }
 
     private void onLogout() {
-        api.logout();
+        loginGeneration++;
+        loginRunning = false;
+        if (exportJob != null) exportJob.cancel();
+        backends.logoutAll();
+        loggedInOrigins.clear();
         loggedIn = false;
         tableModel.clear();
         avatarPanel.clearSelection();
@@ -154,20 +219,27 @@ public class AdminFrame extends JFrame {
             User user = tableModel.getUserAt(row);
             if (user != null) {
                 avatarPanel.setSelectedUsername(user.getUsername());
-                loadAvatarAsync(user.getId());
+                loadAvatarAsync(user);
             }
         }
         updateButtonStates();
     }
 
-    private void loadAvatarAsync(int userId) {
-        api.fetchAvatarAsync(userId, new ApiClient.AvatarCallback() {
+    private void loadAvatarAsync(User user) {
+        ApiClient api = backends.clientFor(user.getOrigin());
+        if (api == null) {
+            avatarPanel.setAvatarError();
+            return;
+        }
+        api.fetchAvatarAsync(user.getId(), new ApiClient.AvatarCallback() {
             @Override
             public void onAvatarLoaded(byte[] imageBytes) {
+                // Runs on the fetch thread: decode and scale here so the EDT only sets the icon.
+                AvatarPanel.Thumbnail thumbnail = AvatarPanel.createThumbnail(imageBytes);
                 SwingUtilities.invokeLater(() -> {
-                    if (userTable.getSelectedRow() >= 0 && tableModel.getUserAt(userTable.getSelectedRow()) != null
-                            && tableModel.getUserAt(userTable.getSelectedRow()).getId() == userId) {
-                        avatarPanel.setAvatarImage(imageBytes);
+                    int selected = userTable.getSelectedRow();
+                    if (selected >= 0 && selected == tableModel.indexOf(user)) {
+                        avatarPanel.setAvatarImage(thumbnail);
                     }
                 });
             }
@@ -189,22 +261,25 @@ public class AdminFrame extends JFrame {
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.QUESTION_MESSAGE);
         if (confirm != JOptionPane.YES_OPTION) return;
-        int userId = user.getId();
+        ApiClient api = backends.clientFor(user.getOrigin());
+        if (api == null) return;
         deleteUserButton.setEnabled(false);
         SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
             @Override
-            protected Boolean doInBackground() {
-                return api.deleteUser(userId);
+            protected Boolean doInBackground() throws ApiException {
+                return api.deleteUser(user.getId());
             }
             @Override
             protected void done() {
                 try {
                     if (Boolean.TRUE.equals(get())) {
-                        tableModel.removeUserAt(row);
+                        tableModel.removeUser(user);
                         avatarPanel.clearSelection();
                     } else {
                         JOptionPane.showMessageDialog(AdminFrame.this, "Failed to delete user.", "Error", JOptionPane.ERROR_MESSAGE);
                     }
+                } catch (ExecutionException ex) {
+                    JOptionPane.showMessageDialog(AdminFrame.this, "Error: " + ex.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
                 } catch (Exception ex) {
                     JOptionPane.showMessageDialog(AdminFrame.this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
                 }
@@ -214,6 +289,68 @@ public class AdminFrame extends JFrame {
         worker.execute();
     }
 
+    /** Starts a bulk avatar export of all users in the table, or cancels the running one. */
+    private void onExportAvatars() {
+        if (exportWorker != null) {
+            // Cooperative stop: the job finishes the archive so a later export can resume.
+            exportJob.cancel();
+            updateButtonStates();
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("avatars.zip"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        AvatarExportJob job = new AvatarExportJob(backends, tableModel.getUsers(),
+                chooser.getSelectedFile().toPath(), AvatarExportJob.DEFAULT_PARALLELISM);
+        exportJob = job;
+        exportProgress.setMaximum(Math.max(1, tableModel.getRowCount()));
+        exportProgress.setValue(0);
+        exportProgress.setVisible(true);
+        exportButton.setText("Cancel export");
+        exportWorker = new SwingWorker<>() {
+            @Override
+            protected ExportProgress doInBackground() throws Exception {
+                return job.run(this::publish);
+            }
+            @Override
+            protected void process(List<ExportProgress> chunks) {
+                showExportProgress(chunks.get(chunks.size() - 1));
+            }
+            @Override
+            protected void done() {
+                exportWorker = null;
+                exportJob = null;
+                exportButton.setText("Export avatars…");
+                exportProgress.setVisible(false);
+                try {
+                    ExportProgress result = get();
+                    if (job.isCancelled()) {
+                        exportStatus.setText("Export cancelled (" + result.describe() + "); run again to resume.");
+                    } else {
+                        exportStatus.setText("Export done: " + result.describe());
+                        if (!job.getFailures().isEmpty()) {
+                            JOptionPane.showMessageDialog(AdminFrame.this, String.join("\n", job.getFailures()),
+                                    "Some avatars failed", JOptionPane.WARNING_MESSAGE);
+                        }
+                    }
+                } catch (ExecutionException ex) {
+                    exportStatus.setText("Export failed.");
+                    JOptionPane.showMessageDialog(AdminFrame.this, "Error: " + ex.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                updateButtonStates();
+            }
+        };
+        exportWorker.execute();
+    }
+
+    private void showExportProgress(ExportProgress p) {
+        exportProgress.setValue(p.getProcessed());
+        exportProgress.setString(p.getProcessed() + " / " + p.getTotal());
+        exportStatus.setText(String.format("%.1f avatars/s", p.getAvatarsPerSecond()));
+    }
+
     private void updateButtonStates() {
         loginButton.setEnabled(!loggedIn);
         logoutButton.setEnabled(loggedIn);
@@ -221,5 +358,9 @@ public class AdminFrame extends JFrame {
         passwordField.setEnabled(!loggedIn);
         int row = userTable.getSelectedRow();
         deleteUserButton.setEnabled(loggedIn && row >= 0);
+        // While an export runs the button cancels it; once cancelled it stays off until done().
+        exportButton.setEnabled(exportWorker != null
+                ? !exportJob.isCancelled()
+                : loggedIn && tableModel.getRowCount() > 0);
     }
 }
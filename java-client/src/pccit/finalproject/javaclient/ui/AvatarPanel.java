@@ -4,6 +4,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import javax.imageio.ImageIO;
 
@@ -55,32 +56,64 @@ public class AvatarPanel extends JPanel {
         imageLabel.setText("Loading…");
     }
 
-    /** Set avatar image from bytes (call from EDT, e.g. from SwingWorker done()). */
-    public void setAvatarImage(byte[] imageBytes) {
+    /**
+     * Decodes and scales avatar bytes into a thumbnail. This is the slow part (ImageIO's
+     * plugin scan on first use, decoding, smooth scaling; ImageIcon waits for the scaled
+     * image), so call it off the EDT, e.g. in the fetch callback, and pass the result to
+     * {@link #setAvatarImage(Thumbnail)} on the EDT.
+     */
+    public static Thumbnail createThumbnail(byte[] imageBytes) {
         if (imageBytes == null || imageBytes.length == 0) {
-            imageLabel.setIcon(null);
-            imageLabel.setText("No image");
-            return;
+            return new Thumbnail(null, "No image");
         }
         try {
-            BufferedImage img = ImageIO.read(new ByteArrayInputStream(imageBytes));
-            if (img != null) {
-                Image scaled = img.getScaledInstance(THUMBNAIL_SIZE, THUMBNAIL_SIZE, Image.SCALE_SMOOTH);
-                imageLabel.setIcon(new ImageIcon(scaled));
-                imageLabel.setText(null);
-            } else {
-                imageLabel.setIcon(null);
-                imageLabel.setText("Invalid image");
+            BufferedImage img = ImageDecoder.read(imageBytes);
+            if (img == null) {
+                return new Thumbnail(null, "Invalid image");
             }
+            Image scaled = img.getScaledInstance(THUMBNAIL_SIZE, THUMBNAIL_SIZE, Image.SCALE_SMOOTH);
+            return new Thumbnail(new ImageIcon(scaled), null);
         } catch (Exception e) {
-            imageLabel.setIcon(null);
-            imageLabel.setText("Error");
+            return new Thumbnail(null, "Error");
         }
     }
 
+    /** Show a thumbnail from {@link #createThumbnail(byte[])} (call from EDT). */
+    public void setAvatarImage(Thumbnail thumbnail) {
+        imageLabel.setIcon(thumbnail.icon);
+        imageLabel.setText(thumbnail.text);
+    }
+
     /** Show error state for avatar load. */
     public void setAvatarError() {
         imageLabel.setIcon(null);
         imageLabel.setText("Error loading");
     }
+
+    /** Decoded avatar ready for display: an icon, or the text shown instead of one. */
+    public static final class Thumbnail {
+        private final Icon icon;
+        private final String text;
+
+        private Thumbnail(Icon icon, String text) {
+            this.icon = icon;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Holder so ImageIO is initialised (plugin registry scan) by the first decode, on the
+     * thread calling createThumbnail, rather than when AvatarPanel is loaded. The disk cache
+     * is turned off: decoding small in-memory images does not need temp files, which are
+     * slow on locked-down machines.
+     */
+    private static final class ImageDecoder {
+        static {
+            ImageIO.setUseCache(false);
+        }
+
+        static BufferedImage read(byte[] bytes) throws IOException {
+            return ImageIO.read(new ByteArrayInputStream(bytes));
+        }
+    }
 }
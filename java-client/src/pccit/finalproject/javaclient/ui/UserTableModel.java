@@ -8,10 +8,11 @@ import java.util.List;
 
 /**
  * TableModel (MVC) for the admin user list. Backed by a list of User objects.
+ * Rows may come from several backends; the Origin column shows which one.
  */
 public class UserTableModel extends AbstractTableModel {
 
-    private static final String[] COLUMN_NAMES = { "ID", "Username", "Real Name", "Admin", "Articles" };
+    private static final String[] COLUMN_NAMES = { "ID", "Username", "Real Name", "Admin", "Articles", "Origin" };
     private final List<User> users = new ArrayList<>();
 
     @Override
@@ -38,6 +39,7 @@ public class UserTableModel extends AbstractTableModel {
             case 2: return u.getRealName();
             case 3: return u.isAdmin() ? "Yes" : "No";
             case 4: return u.getArticleCount();
+            case 5: return u.getOrigin();
             default: return "";
         }
     }
@@ -55,6 +57,29 @@ public class UserTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /** Append users (e.g. one backend's list as it arrives) and notify. */
+    public void addUsers(List<User> more) {
+        if (more == null || more.isEmpty()) return;
+        int first = users.size();
+        users.addAll(more);
+        fireTableRowsInserted(first, users.size() - 1);
+    }
+
+    /** Remove the row for this user (matched by origin and id) and notify. */
+    public void removeUser(User user) {
+        removeUserAt(indexOf(user));
+    }
+
+    /** Row index of the user with the same origin and id, or -1. */
+    public int indexOf(User user) {
+        if (user == null) return -1;
+        for (int i = 0; i < users.size(); i++) {
+            User u = users.get(i);
+            if (u.getId() == user.getId() && u.getOrigin().equals(user.getOrigin())) return i;
+        }
+        return -1;
+    }
+
     /** Remove user at row and notify. */
     public void removeUserAt(int row) {
         if (row >= 0 && row < users.size()) {
@@ -69,6 +94,11 @@ public class UserTableModel extends AbstractTableModel {
         return null;
     }
 
+    /** Snapshot of all rows currently in the table. */
+    public List<User> getUsers() {
+        return new ArrayList<>(users);
+    }
+
     public void clear() {
         users.clear();
         fireTableDataChanged();
@@ -2,6 +2,9 @@ package pccit.finalproject.javaclient.util;
 
 import pccit.finalproject.javaclient.model.User;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -31,29 +34,54 @@ public final class JsonHelper {
 
     /** Parse array of user objects into List&lt;User&gt;. */
     public static List<User> parseUserList(String json) {
+        if (json == null || json.isBlank()) return new ArrayList<>();
+        try {
+            return parseUserList(new StringReader(json));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringReader does not throw
+        }
+    }
+
+    /**
+     * Parse an array of user objects while it is being read (e.g. from a decompressing
+     * response stream). Only the current object is buffered, never the whole document.
+     * Braces inside string values are skipped.
+     */
+    public static List<User> parseUserList(Reader reader) throws IOException {
         List<User> list = new ArrayList<>();
-        if (json == null || json.isBlank()) return list;
-        // Find each object in the array by matching balanced braces.
-        int start = json.indexOf('[');
-        if (start == -1) return list;
+        char[] buf = new char[8192];
+        StringBuilder obj = new StringBuilder(512);
+        boolean inArray = false;
+        boolean inString = false;
+        boolean escaped = false;
         int depth = 0;
-        int objStart = -1;
-        for (int i = start + 1; i < json.length(); i++) {
-            char c = json.charAt(i);
-            if (c == '{') {
-                if (depth == 0) objStart = i;
-                depth++;
-            } else if (c == '}') {
-                depth--;
-                if (depth == 0 && objStart != -1) {
-                    String obj = json.substring(objStart, i + 1);
-                    User u = parseUserObject(obj);
-                    if (u != null) list.add(u);
+        for (int n; (n = reader.read(buf)) != -1; ) {
+            for (int i = 0; i < n; i++) {
+                char c = buf[i];
+                if (!inArray) {
+                    inArray = c == '[';
+                    continue;
+                }
+                if (depth > 0) obj.append(c);
+                if (inString) {
+                    if (escaped) escaped = false;
+                    else if (c == '\\') escaped = true;
+                    else if (c == '"') inString = false;
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    if (depth == 0 && c == '{') obj.setLength(0);
+                    if (depth == 0) obj.append(c);
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (depth == 0) return list; // end of top-level array
+                    depth--;
+                    if (depth == 0) {
+                        User u = parseUserObject(obj.toString());
+                        if (u != null) list.add(u);
+                        obj.setLength(0);
+                    }
                 }
-            } else if (c == '[') {
-                depth++;
-            } else if (c == ']') {
-                depth--;
             }
         }
         return list;